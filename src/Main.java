@@ -1,7 +1,10 @@
 import model.Board;
 import model.Space;
 import util.BoardTemplate;
+import util.SessionStore;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +21,9 @@ public class Main {
     private static final Scanner scanner = new Scanner(System.in);
     private static Board board;
     private static final int BOARD_LIMIT = 9;
+    private static final Path SESSIONS_FILE = Path.of("sudoku-sessions.log");
+    private static final String SESSION_ID = "atual";
+    private static SessionStore sessions;
 
     public static void main(String[] args) {
 
@@ -28,6 +34,8 @@ public class Main {
                         v -> v.split(";")[1]    // "valor,fixed"
                 ));
 
+        restoreSession();
+
         while (true) {
             System.out.println("Selecione uma das opções a seguir");
             System.out.println("1 - Iniciar um novo jogo");
@@ -49,7 +57,7 @@ public class Main {
                 case 5 -> showGameStatus();
                 case 6 -> clearGame();
                 case 7 -> finishGame();
-                case 8 -> System.exit(0);
+                case 8 -> exit();
                 default -> System.out.println("Opção inválida! Selecione uma das opções do Menu.");
             }
         }
@@ -57,8 +65,12 @@ public class Main {
 
     private static void startGame(Map<String, String> positions) {
         if (nonNull(board)) {
-            System.out.println("O jogo já foi iniciado!");
-            return;
+            System.out.println("O jogo já foi iniciado! Deseja descartá-lo e iniciar um novo? (sim/não)");
+            if (!askConfirmation()) {
+                return;
+            }
+            board = null;
+            deleteSession();
         }
         List<List<Space>> spaces = new ArrayList<>();
         for (int i = 0; i < BOARD_LIMIT; i++) {
@@ -76,6 +88,7 @@ public class Main {
             }
         }
         board = new Board(spaces);
+        saveSession();
         System.out.println("O jogo foi iniciado!");
     }
 
@@ -92,7 +105,9 @@ public class Main {
         int value = runUntilGetValidNumber(1, BOARD_LIMIT);
         if (!board.changeValue(col, row, value)) {
             System.out.printf("A posição [%s, %s] tem um valor fixo %n", col, row);
+            return;
         }
+        saveSession();
     }
 
     private static void removeNumber() {
@@ -106,7 +121,9 @@ public class Main {
         int row = runUntilGetValidNumber(0, BOARD_LIMIT - 1);
         if (!board.clearValue(col, row)) {
             System.out.printf("A posição [%s, %s] tem um valor fixo %n", col, row);
+            return;
         }
+        saveSession();
     }
 
     private static void showCurrentGame() {
@@ -128,6 +145,7 @@ public class Main {
             System.out.println("Parabéns você concluiu o jogo");
             showCurrentGame();
             board = null;
+            deleteSession();
         } else if (board.hasErrors()) {
             System.out.println("Seu jogo contém erros, verifique seu board e ajuste-o");
         } else {
@@ -141,13 +159,9 @@ public class Main {
             return;
         }
         System.out.println("Tem certeza que deseja limpar o jogo e perder todo seu progresso? (sim/não)");
-        String confirm = scanner.next();
-        while (!confirm.equalsIgnoreCase("sim") && !confirm.equalsIgnoreCase("não")) {
-            System.out.println("Informe 'sim' ou 'não'");
-            confirm = scanner.next();
-        }
-        if (confirm.equalsIgnoreCase("sim")) {
+        if (askConfirmation()) {
             board.reset();
+            saveSession();
         }
     }
 
@@ -164,6 +178,65 @@ public class Main {
         }
     }
 
+    /* ======================== persistência ======================== */
+
+    private static void restoreSession() {
+        try {
+            sessions = SessionStore.open(SESSIONS_FILE);
+            board = sessions.load(SESSION_ID);
+            if (nonNull(board)) {
+                System.out.println("Jogo anterior restaurado!");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.printf("Não foi possível restaurar o jogo salvo: %s%n", e.getMessage());
+        }
+    }
+
+    private static void saveSession() {
+        if (isNull(sessions)) return;
+        try {
+            sessions.save(SESSION_ID, board);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.printf("Não foi possível salvar o jogo: %s%n", e.getMessage());
+            return;
+        }
+        // a jogada já está salva; falha aqui só adia a compactação
+        try {
+            sessions.compactIfNeeded();
+        } catch (IOException e) {
+            System.out.printf("Não foi possível compactar os jogos salvos: %s%n", e.getMessage());
+        }
+    }
+
+    private static void deleteSession() {
+        if (isNull(sessions)) return;
+        try {
+            sessions.delete(SESSION_ID);
+        } catch (IOException e) {
+            System.out.printf("Não foi possível remover o jogo salvo: %s%n", e.getMessage());
+        }
+    }
+
+    private static void exit() {
+        if (nonNull(sessions)) {
+            try {
+                sessions.close();
+            } catch (IOException ignored) {
+                // cada jogada já foi sincronizada em disco
+            }
+        }
+        System.exit(0);
+    }
+
+    private static boolean askConfirmation() {
+        String confirm = scanner.next();
+        while (!confirm.equalsIgnoreCase("sim") && !confirm.equalsIgnoreCase("não")) {
+            System.out.println("Informe 'sim' ou 'não'");
+            confirm = scanner.next();
+        }
+        return confirm.equalsIgnoreCase("sim");
+    }
+
     private static int runUntilGetValidNumber(final int min, final int max) {
         int current = scanner.nextInt();
         while (current < min || current > max) {
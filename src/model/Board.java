@@ -12,15 +12,26 @@ import static java.util.Objects.nonNull;
 public class Board {
 
         private final List<List<Space>> spaces;
+        private int moveCount;
 
         public Board(List<List<Space>> spaces) {
+            this(spaces, 0);
+        }
+
+        /** Usado ao restaurar uma sessão salva, preservando o nº de jogadas. */
+        public Board(List<List<Space>> spaces, int moveCount) {
             this.spaces = spaces;
+            this.moveCount = moveCount;
         }
 
         public List<List<Space>> getSpaces() {
             return spaces;
         }
 
+        public int getMoveCount() {
+            return moveCount;
+        }
+
         public GameStatusEnum getStatus() {
             if(spaces.stream().flatMap(Collection::stream).noneMatch(s ->!s.isFixed()
             && nonNull(s.getActual()))){
@@ -45,6 +56,7 @@ public class Board {
                 return false;
             }
             space.setActual(value);
+            moveCount++;
             return true;
         }
 
@@ -54,11 +66,13 @@ public class Board {
                 return false;
             }
             space.clearSpace();
+            moveCount++;
             return true;
         }
 
         public void reset(){
             spaces.forEach(c -> c.forEach(Space:: clearSpace));
+            moveCount = 0;
         }
 
         public  boolean isFinished(){
@@ -0,0 +1,181 @@
+package util;
+
+import model.Board;
+import model.Space;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codifica um {@link Board} num registro binário compacto (e vice-versa).
+ *
+ * Layout (um 9x9 típico ocupa ~80 bytes):
+ * <pre>
+ *   [versão:1][tamanho:1][jogadas:varint]
+ *   [máscara de fixos: ceil(n²/8)]
+ *   [esperados: n² valores]
+ *   [atuais: só das casas não fixas, 0 = vazio]
+ * </pre>
+ * Valores são empacotados em nibbles quando o tamanho é até 15; acima disso, 1 byte cada.
+ * Todo valor precisa estar entre 0 e o tamanho do tabuleiro, senão é rejeitado.
+ */
+public final class BoardCodec {
+
+    private static final byte VERSION = 1;
+
+    private BoardCodec() {}
+
+    public static byte[] encode(Board board) {
+        List<List<Space>> spaces = board.getSpaces();
+        int size = spaces.size();
+        if (size < 1 || size > 255) {
+            throw new IllegalArgumentException("Tamanho de tabuleiro não suportado: " + size);
+        }
+        if (board.getMoveCount() < 0) {
+            throw new IllegalArgumentException("Nº de jogadas negativo: " + board.getMoveCount());
+        }
+        int total = size * size;
+        int bits = bitsPerValue(size);
+
+        // coleta as casas em ordem (linha a linha) e conta as não fixas
+        Space[] cells = new Space[total];
+        int free = 0;
+        for (int r = 0; r < size; r++) {
+            List<Space> row = spaces.get(r);
+            if (row.size() != size) throw new IllegalArgumentException("Tabuleiro não é quadrado.");
+            for (int c = 0; c < size; c++) {
+                Space s = row.get(c);
+                cells[r * size + c] = s;
+                if (!s.isFixed()) free++;
+            }
+        }
+
+        int maskLen = (total + 7) / 8;
+        byte[] out = new byte[2 + varintLength(board.getMoveCount()) + maskLen
+                + packedLength(total, bits) + packedLength(free, bits)];
+        int pos = 0;
+        out[pos++] = VERSION;
+        out[pos++] = (byte) size;
+        pos = writeVarint(out, pos, board.getMoveCount());
+
+        for (int i = 0; i < total; i++) {
+            if (cells[i].isFixed()) out[pos + (i >>> 3)] |= (byte) (1 << (i & 7));
+        }
+        pos += maskLen;
+
+        for (int i = 0; i < total; i++) {
+            pack(out, pos, i, bits, checkValue(cells[i].getExpected(), size));
+        }
+        pos += packedLength(total, bits);
+
+        int k = 0;
+        for (int i = 0; i < total; i++) {
+            if (cells[i].isFixed()) continue;
+            Integer actual = cells[i].getActual();
+            pack(out, pos, k++, bits, actual == null ? 0 : checkValue(actual, size));
+        }
+        return out;
+    }
+
+    public static Board decode(byte[] data) {
+        try {
+            int pos = 0;
+            if (data[pos++] != VERSION) {
+                throw new IllegalArgumentException("Versão de registro desconhecida: " + data[0]);
+            }
+            int size = data[pos++] & 0xFF;
+            if (size == 0) throw new IllegalArgumentException("Tamanho de tabuleiro inválido: 0");
+            int total = size * size;
+            int bits = bitsPerValue(size);
+
+            // varint inline (posição + valor); um int cabe em no máximo 5 bytes
+            int moveCount = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift > 28) throw new IllegalArgumentException("Nº de jogadas com varint longo demais.");
+                b = data[pos++];
+                moveCount |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (moveCount < 0) throw new IllegalArgumentException("Nº de jogadas negativo: " + moveCount);
+
+            int maskPos = pos;
+            pos += (total + 7) / 8;
+            int expectedPos = pos;
+            pos += packedLength(total, bits);
+            int actualPos = pos;
+
+            List<List<Space>> spaces = new ArrayList<>(size);
+            int k = 0;
+            for (int r = 0; r < size; r++) {
+                List<Space> row = new ArrayList<>(size);
+                for (int c = 0; c < size; c++) {
+                    int i = r * size + c;
+                    boolean fixed = (data[maskPos + (i >>> 3)] & (1 << (i & 7))) != 0;
+                    Space space = new Space(checkValue(unpack(data, expectedPos, i, bits), size), fixed);
+                    if (!fixed) {
+                        int actual = checkValue(unpack(data, actualPos, k++, bits), size);
+                        if (actual != 0) space.setActual(actual);
+                    }
+                    row.add(space);
+                }
+                spaces.add(row);
+            }
+            if (actualPos + packedLength(k, bits) != data.length) {
+                throw new IllegalArgumentException("Registro com tamanho inconsistente.");
+            }
+            return new Board(spaces, moveCount);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Registro truncado.", e);
+        }
+    }
+
+    /* ======================== utilitários ======================== */
+
+    private static int checkValue(int value, int size) {
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException(
+                    String.format("Valor %s fora do intervalo 0..%s", value, size));
+        }
+        return value;
+    }
+
+    private static int bitsPerValue(int size) {
+        return size <= 15 ? 4 : 8;
+    }
+
+    private static int packedLength(int count, int bits) {
+        return bits == 4 ? (count + 1) / 2 : count;
+    }
+
+    private static void pack(byte[] out, int base, int index, int bits, int value) {
+        if (bits == 8) {
+            out[base + index] = (byte) value;
+        } else {
+            int shift = (index & 1) == 0 ? 0 : 4;
+            out[base + (index >>> 1)] |= (byte) ((value & 0x0F) << shift);
+        }
+    }
+
+    private static int unpack(byte[] data, int base, int index, int bits) {
+        if (bits == 8) return data[base + index] & 0xFF;
+        int shift = (index & 1) == 0 ? 0 : 4;
+        return (data[base + (index >>> 1)] >>> shift) & 0x0F;
+    }
+
+    private static int varintLength(int value) {
+        int len = 1;
+        while ((value >>>= 7) != 0) len++;
+        return len;
+    }
+
+    private static int writeVarint(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+}
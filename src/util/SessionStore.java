@@ -0,0 +1,250 @@
+package util;
+
+import model.Board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Persiste sessões de jogo num log binário só de acréscimo (write-ahead).
+ *
+ * Cada gravação vira um registro {@code [tamanho:4][crc32:4][op:1][id][board]} com fsync.
+ * Na abertura o log é lido de uma vez; um registro final incompleto ou com CRC inválido
+ * (queda no meio da escrita) é descartado e o arquivo truncado no último registro íntegro.
+ * Registros íntegros com operação desconhecida (de uma versão mais nova) são ignorados.
+ * Quando o log acumula muitos registros obsoletos, {@link #compactIfNeeded()} o reescreve
+ * num arquivo temporário que substitui o original com um move atômico.
+ * O arquivo fica travado enquanto o store estiver aberto: só um processo grava por vez.
+ */
+public final class SessionStore implements Closeable {
+
+    private static final byte OP_SAVE = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int HEADER = 8; // tamanho + crc
+    private static final int MAX_RECORD = 1 << 20;
+
+    // compacta quando o log tiver ao menos isso de registros e o dobro dos vivos
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    private final Path path;
+    private final Map<String, byte[]> live = new LinkedHashMap<>();
+    private FileChannel channel;
+    private int records;
+
+    private SessionStore(Path path) {
+        this.path = path;
+    }
+
+    /** Abre (ou cria) o log em {@code path} e carrega o estado mais recente de cada sessão. */
+    public static SessionStore open(Path path) throws IOException {
+        SessionStore store = new SessionStore(path);
+        try {
+            store.replay();
+        } catch (IOException | RuntimeException e) {
+            if (store.channel != null) store.channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    public synchronized void save(String id, Board board) throws IOException {
+        byte[] payload = BoardCodec.encode(board);
+        append(OP_SAVE, id, payload);
+        live.put(id, payload);
+    }
+
+    public synchronized void delete(String id) throws IOException {
+        if (!live.containsKey(id)) return;
+        append(OP_DELETE, id, new byte[0]);
+        live.remove(id);
+    }
+
+    /** Retorna a sessão salva com esse id, ou {@code null} se não existir. */
+    public synchronized Board load(String id) {
+        byte[] payload = live.get(id);
+        return payload == null ? null : BoardCodec.decode(payload);
+    }
+
+    /** Cópia dos ids das sessões salvas. */
+    public synchronized Set<String> ids() {
+        return Set.copyOf(live.keySet());
+    }
+
+    /** Compacta o log quando ele tiver muitos registros obsoletos. */
+    public synchronized void compactIfNeeded() throws IOException {
+        if (records >= COMPACT_MIN_RECORDS && records > 2 * live.size()) {
+            compact();
+        }
+    }
+
+    /** Reescreve o log contendo apenas o último estado de cada sessão. */
+    public synchronized void compact() throws IOException {
+        FileChannel old = writableChannel();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                for (Map.Entry<String, byte[]> e : live.entrySet()) {
+                    writeFully(out, record(OP_SAVE, e.getKey(), e.getValue()));
+                }
+                out.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // o log original continua intacto e o canal atual segue válido
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        syncDirectory(path.toAbsolutePath().getParent());
+
+        // o canal antigo aponta para o arquivo substituído: nunca mais pode ser usado
+        channel = null;
+        try {
+            FileChannel fresh = openLocked(path);
+            fresh.position(fresh.size());
+            channel = fresh;
+            records = live.size();
+        } finally {
+            old.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    /* ======================== log ======================== */
+
+    private void replay() throws IOException {
+        channel = openLocked(path);
+        // lê pelo próprio canal: fechar outro descritor do arquivo liberaria o lock (POSIX)
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0) break;
+        }
+        buf.flip();
+
+        long valid = 0;
+        while (buf.remaining() >= HEADER) {
+            int start = buf.position();
+            int len = buf.getInt();
+            int crc = buf.getInt();
+            if (len < 2 || len > MAX_RECORD || len > buf.remaining()) break;
+            CRC32 check = new CRC32();
+            check.update(buf.array(), buf.position(), len);
+            if ((int) check.getValue() != crc) break;
+
+            // registro íntegro: daqui em diante nunca trunca, no máximo ignora
+            int end = start + HEADER + len;
+            byte op = buf.get();
+            int idLen = buf.get() & 0xFF;
+            if (idLen + 2 <= len && (op == OP_SAVE || op == OP_DELETE)) {
+                String id = new String(buf.array(), buf.position(), idLen, StandardCharsets.UTF_8);
+                buf.position(buf.position() + idLen);
+                if (op == OP_SAVE) {
+                    byte[] payload = new byte[end - buf.position()];
+                    buf.get(payload);
+                    live.put(id, payload);
+                } else {
+                    live.remove(id);
+                }
+            }
+            buf.position(end);
+            records++;
+            valid = end;
+        }
+
+        // descarta cauda corrompida (escrita interrompida)
+        if (valid < channel.size()) {
+            channel.truncate(valid);
+            channel.force(true);
+        }
+        channel.position(valid);
+    }
+
+    private void append(byte op, String id, byte[] payload) throws IOException {
+        FileChannel ch = writableChannel();
+        ByteBuffer record = record(op, id, payload);
+        long start = ch.position();
+        try {
+            writeFully(ch, record);
+            ch.force(false);
+        } catch (IOException | RuntimeException e) {
+            // não deixa bytes parciais no log: a próxima gravação esconderia tudo depois deles
+            try {
+                ch.truncate(start);
+                ch.position(start);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        records++;
+    }
+
+    private FileChannel writableChannel() throws IOException {
+        if (channel == null) {
+            throw new IOException("Log de sessões indisponível após falha na compactação: " + path);
+        }
+        return channel;
+    }
+
+    private static FileChannel openLocked(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, CREATE, READ, WRITE);
+        try {
+            // o lock é liberado junto com o canal
+            if (ch.tryLock() == null) throw new OverlappingFileLockException();
+        } catch (OverlappingFileLockException e) {
+            ch.close();
+            throw new IOException("O arquivo de jogos salvos já está em uso: " + path, e);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+        return ch;
+    }
+
+    private static void syncDirectory(Path dir) {
+        // garante que o rename sobreviva a uma queda; no Windows diretórios não podem ser abertos
+        try (FileChannel ch = FileChannel.open(dir, READ)) {
+            ch.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ByteBuffer record(byte op, String id, byte[] payload) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > 255) {
+            throw new IllegalArgumentException("Id de sessão muito longo: " + id);
+        }
+        int len = 2 + idBytes.length + payload.length;
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + len);
+        buf.putInt(len).putInt(0)
+                .put(op).put((byte) idBytes.length).put(idBytes).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), HEADER, len);
+        buf.putInt(4, (int) crc.getValue());
+        buf.flip();
+        return buf;
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+}
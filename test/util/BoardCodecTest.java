@@ -0,0 +1,140 @@
+package util;
+
+import model.Board;
+import model.Space;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Verificações de ida e volta do {@link BoardCodec}. Rode com {@code java util.BoardCodecTest}. */
+public final class BoardCodecTest {
+
+    private BoardCodecTest() {}
+
+    public static void main(String[] args) {
+        roundTripsNibbleBoard();
+        roundTripsByteBoard();
+        roundTripsMoveCountVarint();
+        rejectsOutOfRangeValues();
+        rejectsMalformedRecords();
+        System.out.println("BoardCodecTest: OK");
+    }
+
+    private static void roundTripsNibbleBoard() {
+        // tabuleiro vazio (nenhuma casa preenchida nem fixa)
+        Board empty = board(9, false, false);
+        assertSameBoard(empty, BoardCodec.decode(BoardCodec.encode(empty)));
+
+        // casas fixas, preenchidas e vazias misturadas
+        Board mixed = board(9, true, true);
+        byte[] data = BoardCodec.encode(mixed);
+        check(data.length < 100, "9x9 deveria caber em menos de 100 bytes, ocupou " + data.length);
+        assertSameBoard(mixed, BoardCodec.decode(data));
+    }
+
+    private static void roundTripsByteBoard() {
+        Board board = board(16, true, true);
+        assertSameBoard(board, BoardCodec.decode(BoardCodec.encode(board)));
+    }
+
+    private static void roundTripsMoveCountVarint() {
+        for (int moves : new int[]{0, 1, 127, 128, 16_383, 16_384, 300_000, Integer.MAX_VALUE}) {
+            Board board = new Board(board(4, true, true).getSpaces(), moves);
+            Board decoded = BoardCodec.decode(BoardCodec.encode(board));
+            check(decoded.getMoveCount() == moves, "jogadas: esperado " + moves + ", veio " + decoded.getMoveCount());
+        }
+    }
+
+    private static void rejectsOutOfRangeValues() {
+        for (int expected : new int[]{-1, 10, 20}) {
+            Board board = board(9, false, false);
+            board.getSpaces().get(0).set(0, new Space(expected, false));
+            expectRejected(() -> BoardCodec.encode(board), "esperado " + expected);
+        }
+        Board board = board(9, false, false);
+        board.getSpaces().get(0).get(0).setActual(10);
+        expectRejected(() -> BoardCodec.encode(board), "atual 10");
+    }
+
+    private static void rejectsMalformedRecords() {
+        byte[] valid = BoardCodec.encode(board(4, true, true));
+
+        byte[] zeroSize = valid.clone();
+        zeroSize[1] = 0;
+        expectRejected(() -> BoardCodec.decode(zeroSize), "tamanho 0");
+
+        // 4x4 com esperados 1..4: força um nibble com valor 15
+        byte[] tooLarge = valid.clone();
+        tooLarge[tooLarge.length - 1] |= 0x0F;
+        expectRejected(() -> BoardCodec.decode(tooLarge), "valor maior que o tamanho");
+
+        // varint das jogadas: mais de 5 bytes, e 5 bytes que estouram para negativo
+        byte[] tooLong = withMoveCount(valid, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01);
+        expectRejected(() -> BoardCodec.decode(tooLong), "varint com mais de 5 bytes");
+        byte[] negative = withMoveCount(valid, 0x80, 0x80, 0x80, 0x80, 0x08);
+        expectRejected(() -> BoardCodec.decode(negative), "nº de jogadas negativo");
+
+        byte[] truncated = new byte[valid.length - 1];
+        System.arraycopy(valid, 0, truncated, 0, truncated.length);
+        expectRejected(() -> BoardCodec.decode(truncated), "registro truncado");
+    }
+
+    /* ======================== utilitários ======================== */
+
+    /** Troca o varint de 1 byte das jogadas (posição 2) pelos bytes informados. */
+    private static byte[] withMoveCount(byte[] record, int... varint) {
+        byte[] out = new byte[record.length - 1 + varint.length];
+        System.arraycopy(record, 0, out, 0, 2);
+        for (int i = 0; i < varint.length; i++) out[2 + i] = (byte) varint[i];
+        System.arraycopy(record, 3, out, 2 + varint.length, record.length - 3);
+        return out;
+    }
+
+    /** Monta um tabuleiro com valores de 1..size; metade fixa e parte preenchida, se pedido. */
+    static Board board(int size, boolean withFixed, boolean withActual) {
+        List<List<Space>> spaces = new ArrayList<>();
+        for (int r = 0; r < size; r++) {
+            List<Space> row = new ArrayList<>();
+            for (int c = 0; c < size; c++) {
+                int expected = (r + c) % size + 1;
+                Space space = new Space(expected, withFixed && (r + c) % 2 == 0);
+                if (withActual && !space.isFixed() && c % 3 != 0) {
+                    space.setActual(c % 2 == 0 ? expected : size - expected + 1);
+                }
+                row.add(space);
+            }
+            spaces.add(row);
+        }
+        return new Board(spaces, size * 3);
+    }
+
+    static void assertSameBoard(Board expected, Board actual) {
+        check(expected.getMoveCount() == actual.getMoveCount(), "nº de jogadas diferente");
+        List<List<Space>> a = expected.getSpaces();
+        List<List<Space>> b = actual.getSpaces();
+        check(a.size() == b.size(), "tamanho diferente");
+        for (int r = 0; r < a.size(); r++) {
+            for (int c = 0; c < a.size(); c++) {
+                Space x = a.get(r).get(c);
+                Space y = b.get(r).get(c);
+                String where = " em [" + r + ", " + c + "]";
+                check(x.getExpected() == y.getExpected(), "esperado diferente" + where);
+                check(x.isFixed() == y.isFixed(), "fixo diferente" + where);
+                check(java.util.Objects.equals(x.getActual(), y.getActual()), "atual diferente" + where);
+            }
+        }
+    }
+
+    static void expectRejected(Runnable action, String what) {
+        try {
+            action.run();
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new AssertionError("Deveria rejeitar: " + what);
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,149 @@
+package util;
+
+import model.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static util.BoardCodecTest.assertSameBoard;
+import static util.BoardCodecTest.board;
+import static util.BoardCodecTest.check;
+
+/** Verificações de replay do {@link SessionStore}. Rode com {@code java util.SessionStoreTest}. */
+public final class SessionStoreTest {
+
+    private SessionStoreTest() {}
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("sessions");
+        try {
+            restoresSavesAndDeletes(dir.resolve("a.log"));
+            dropsTornTailAndKeepsLaterSaves(dir.resolve("b.log"));
+            skipsIntactRecordWithUnknownOp(dir.resolve("c.log"));
+            compactsObsoleteRecords(dir.resolve("d.log"));
+            refusesSecondWriter(dir.resolve("e.log"));
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path p : (Iterable<Path>) files::iterator) Files.delete(p);
+            }
+            Files.delete(dir);
+        }
+        System.out.println("SessionStoreTest: OK");
+    }
+
+    private static void restoresSavesAndDeletes(Path log) throws IOException {
+        Board first = board(9, true, false);
+        Board second = board(9, true, true);
+        try (SessionStore store = SessionStore.open(log)) {
+            store.save("a", first);
+            store.save("b", first);
+            store.save("b", second);
+            store.save("c", first);
+            store.delete("c");
+        }
+        try (SessionStore store = SessionStore.open(log)) {
+            check(store.ids().equals(Set.of("a", "b")), "ids restaurados: " + store.ids());
+            assertSameBoard(first, store.load("a"));
+            assertSameBoard(second, store.load("b"));
+            check(store.load("c") == null, "sessão removida voltou");
+        }
+    }
+
+    private static void dropsTornTailAndKeepsLaterSaves(Path log) throws IOException {
+        Board board = board(9, true, true);
+        try (SessionStore store = SessionStore.open(log)) {
+            store.save("a", board);
+        }
+        long intact = Files.size(log);
+        // simula queda no meio de uma gravação: cabeçalho promete 50 bytes, só 3 chegaram
+        Files.write(log, new byte[]{0, 0, 0, 50, 1, 2, 3, 4, 9, 9, 9}, StandardOpenOption.APPEND);
+
+        try (SessionStore store = SessionStore.open(log)) {
+            check(Files.size(log) == intact, "cauda corrompida não foi truncada");
+            check(store.ids().equals(Set.of("a")), "ids após cauda corrompida: " + store.ids());
+            store.save("b", board);
+        }
+        try (SessionStore store = SessionStore.open(log)) {
+            check(store.ids().equals(Set.of("a", "b")), "gravação após recuperação perdida: " + store.ids());
+        }
+    }
+
+    private static void skipsIntactRecordWithUnknownOp(Path log) throws IOException {
+        Board board = board(9, true, true);
+        try (SessionStore store = SessionStore.open(log)) {
+            store.save("a", board);
+        }
+        Files.write(log, record((byte) 42, "x", new byte[]{1, 2, 3}), StandardOpenOption.APPEND);
+        try (SessionStore store = SessionStore.open(log)) {
+            store.save("b", board);
+        }
+        long size = Files.size(log);
+        try (SessionStore store = SessionStore.open(log)) {
+            check(Files.size(log) == size, "registro desconhecido causou truncamento");
+            check(store.ids().equals(Set.of("a", "b")), "ids com op desconhecida: " + store.ids());
+        }
+    }
+
+    private static void compactsObsoleteRecords(Path log) throws IOException {
+        Board last = board(9, true, true);
+        try (SessionStore store = SessionStore.open(log)) {
+            for (int i = 0; i < 2000; i++) {
+                store.save("s" + (i % 10), board(9, true, i % 2 == 0));
+            }
+            store.save("s0", last);
+            store.delete("s9");
+            long before = Files.size(log);
+            store.compactIfNeeded();
+            check(Files.size(log) < before / 10, "log não foi compactado");
+            check(Files.notExists(log.resolveSibling(log.getFileName() + ".tmp")), "arquivo temporário ficou");
+            // o canal novo continua aceitando gravações
+            store.save("s9", last);
+        }
+        try (SessionStore store = SessionStore.open(log)) {
+            check(store.ids().size() == 10, "ids após compactação: " + store.ids());
+            assertSameBoard(last, store.load("s0"));
+            assertSameBoard(last, store.load("s9"));
+        }
+    }
+
+    private static void refusesSecondWriter(Path log) throws IOException {
+        try (SessionStore store = SessionStore.open(log)) {
+            store.save("a", board(9, true, true));
+            try (SessionStore other = SessionStore.open(log)) {
+                throw new AssertionError("segundo store abriu o mesmo log");
+            } catch (IOException expected) {
+                // travado pelo primeiro store
+            }
+            for (int i = 0; i < 1100; i++) store.save("a", board(9, true, i % 2 == 0));
+            store.compactIfNeeded();
+            // o log compactado continua travado
+            try (SessionStore other = SessionStore.open(log)) {
+                throw new AssertionError("segundo store abriu o log compactado");
+            } catch (IOException expected) {
+                // travado pelo primeiro store
+            }
+            store.save("b", board(9, true, true));
+        }
+        try (SessionStore store = SessionStore.open(log)) {
+            check(store.ids().equals(Set.of("a", "b")), "ids após disputa pelo log: " + store.ids());
+        }
+    }
+
+    /** Monta um registro no formato do log, com CRC válido. */
+    private static byte[] record(byte op, String id, byte[] payload) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int len = 2 + idBytes.length + payload.length;
+        ByteBuffer buf = ByteBuffer.allocate(8 + len);
+        buf.putInt(len).putInt(0).put(op).put((byte) idBytes.length).put(idBytes).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 8, len);
+        buf.putInt(4, (int) crc.getValue());
+        return buf.array();
+    }
+}